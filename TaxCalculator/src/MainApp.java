@@ -2,12 +2,39 @@ package view;
 
 import controller.AuthController;
 import controller.TaxCalculatorController;
+import utils.FastTokenizer;
+
+import java.io.IOException;
 
 public class MainApp {
 
     public static void main(String[] args) {
         // 创建认证控制器实例(Create authentication controller instance)
         AuthController authController = new AuthController();
+
+        // 非交互流水线模式：标准输入前两行为用户名和密码，之后是若干条带员工编号的记录
+        // (Non-interactive pipelined mode: the first two lines of stdin are the username and password,
+        // followed by the records, each starting with an employee ID)
+        if (args.length > 0 && args[0].equals("--pipe")) {
+            runPipelined(authController);
+            return;
+        }
+        // 税率变更重算模式：标准输入前两行为用户名和密码，参数为新税率文件
+        // (Rate change recalculation mode: the first two lines of stdin are the username and password,
+        // and the argument is the new tax rate file)
+        if (args.length > 0 && args[0].equals("--recalculate")) {
+            if (args.length != 2) {
+                System.err.println("用法(Usage): --recalculate <税率文件(tax rate file)>");
+                System.exit(1);
+            }
+            FastTokenizer tokenizer = new FastTokenizer(System.in);
+            authenticate(authController, tokenizer);
+            if (!new TaxCalculatorController().startRecalculation(args[1])) {
+                System.exit(1);
+            }
+            return;
+        }
+
         // 认证状态标志(Authentication status flag)
         boolean isAuthenticated = false;
 
@@ -21,4 +48,33 @@ public class MainApp {
         // 启动税务计算器应用(Start tax calculator application)
         taxController.start();
     }
+
+    private static void runPipelined(AuthController authController) {
+        FastTokenizer tokenizer = new FastTokenizer(System.in);
+        authenticate(authController, tokenizer);
+
+        TaxCalculatorController taxController = new TaxCalculatorController();
+        // 输入不完整或处理出错时以非零状态退出(Exit non-zero on truncated input or processing errors)
+        if (!taxController.startPipelined(tokenizer)) {
+            System.exit(1);
+        }
+    }
+
+    private static void authenticate(AuthController authController, FastTokenizer tokenizer) {
+        String username;
+        String password;
+        try {
+            // 与LoginView一样按整行读取，密码可以包含空格(Read whole lines like LoginView, so passwords may contain spaces)
+            username = tokenizer.nextLine();
+            password = tokenizer.nextLine();
+        } catch (IOException e) {
+            System.err.println("读取输入错误(Error reading input): " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (username == null || password == null || !authController.authenticateUser(username, password)) {
+            System.err.println("用户名或密码错误(Invalid username or password).");
+            System.exit(1);
+        }
+    }
 }
@@ -15,4 +15,8 @@ public class AuthController {
     public boolean authenticateUser() {
         return loginView.show(); // 调用视图的显示方法并返回认证结果
     }
+
+    public boolean authenticateUser(String username, String password) {
+        return authService.authenticate(username, password); // 非交互模式下直接校验用户名和密码
+    }
 }
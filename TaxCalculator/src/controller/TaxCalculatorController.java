@@ -1,20 +1,50 @@
 package controller;
 
+import service.AuditLogService;
 import service.TaxCalculationService;
+import service.TaxRecalculationService;
+import utils.FastTokenizer;
+import view.PipelinedTaxCalculatorView;
+import view.RecalculationView;
 import view.TaxCalculatorView;
 
 public class TaxCalculatorController {
+    private static final String AUDIT_LOG_DIR = "data/audit"; // 审计日志目录
     private TaxCalculationService taxService; // 税务计算服务
+    private AuditLogService auditLog; // 审计日志服务，记录每次计算
     private TaxCalculatorView taxView; // 税务计算器视图
 
 
     public TaxCalculatorController() {
         this.taxService = new TaxCalculationService(); // 初始化税务计算服务
+        this.auditLog = new AuditLogService(AUDIT_LOG_DIR); // 初始化审计日志服务
+        this.taxService.setAuditLog(auditLog); // 开启审计
         this.taxView = new TaxCalculatorView(taxService); // 初始化税务计算器视图，传入服务实例
     }
 
 
     public void start() {
-        taxView.show(); // 调用视图的显示方法
+        try {
+            taxView.show(); // 调用视图的显示方法
+        } finally {
+            auditLog.close(); // 写出剩余的审计记录
+        }
+    }
+
+    public boolean startPipelined(FastTokenizer tokenizer) {
+        try {
+            return new PipelinedTaxCalculatorView(taxService, tokenizer, System.out).run(); // 非交互模式，全部成功返回true
+        } finally {
+            auditLog.close(); // 写出剩余的审计记录
+        }
+    }
+
+    public boolean startRecalculation(String taxRatesFile) {
+        try {
+            TaxRecalculationService recalculationService = new TaxRecalculationService(taxService); // 初始化增量重算服务
+            return new RecalculationView(recalculationService, auditLog, taxRatesFile).run(); // 应用新税率表，成功返回true
+        } finally {
+            auditLog.close(); // 写出重算产生的审计记录
+        }
     }
 }
@@ -0,0 +1,53 @@
+package model;
+
+import java.io.Serializable;
+
+public class AuditRecord implements Serializable {
+    // 序列化版本UID(Serialization version UID)
+    private static final long serialVersionUID = 1L;
+    // 计算时间（毫秒时间戳）(Calculation time in epoch milliseconds)
+    private long timestamp;
+    // 员工编号(Employee ID)
+    private String employeeId;
+    // 税务数据(Tax data)
+    private TaxData taxData;
+    // 税率表版本(Tax rate table version)
+    private long rateTableVersion;
+    // 计算得出的应缴税额(Computed tax payable)
+    private double tax;
+
+    public AuditRecord(long timestamp, String employeeId, TaxData taxData,
+                       long rateTableVersion, double tax) {
+        this.timestamp = timestamp;
+        this.employeeId = employeeId;
+        this.taxData = taxData;
+        this.rateTableVersion = rateTableVersion;
+        this.tax = tax;
+    }
+
+    // Getters
+    // 获取计算时间(Get calculation time)
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    // 获取员工编号(Get employee ID)
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    // 获取税务数据(Get tax data)
+    public TaxData getTaxData() {
+        return taxData;
+    }
+
+    // 获取税率表版本(Get tax rate table version)
+    public long getRateTableVersion() {
+        return rateTableVersion;
+    }
+
+    // 获取应缴税额(Get tax payable)
+    public double getTax() {
+        return tax;
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+import java.io.Serializable;
+
+public class TaxDelta implements Serializable {
+    // 序列化版本UID(Serialization version UID)
+    private static final long serialVersionUID = 1L;
+    // 员工编号(Employee ID)
+    private String employeeId;
+    // 应纳税所得额(Taxable income)
+    private double taxableIncome;
+    // 原应缴税额(Previous tax payable)
+    private double oldTax;
+    // 新应缴税额(New tax payable)
+    private double newTax;
+
+    public TaxDelta(String employeeId, double taxableIncome, double oldTax, double newTax) {
+        this.employeeId = employeeId;
+        this.taxableIncome = taxableIncome;
+        this.oldTax = oldTax;
+        this.newTax = newTax;
+    }
+
+    // Getters
+    // 获取员工编号(Get employee ID)
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    // 获取应纳税所得额(Get taxable income)
+    public double getTaxableIncome() {
+        return taxableIncome;
+    }
+
+    // 获取原应缴税额(Get previous tax payable)
+    public double getOldTax() {
+        return oldTax;
+    }
+
+    // 获取新应缴税额(Get new tax payable)
+    public double getNewTax() {
+        return newTax;
+    }
+
+    // 获取税额变化(Get tax difference)
+    public double getDifference() {
+        return newTax - oldTax;
+    }
+}
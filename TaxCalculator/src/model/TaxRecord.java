@@ -0,0 +1,49 @@
+package model;
+
+import java.io.Serializable;
+
+public class TaxRecord implements Serializable {
+    // 序列化版本UID(Serialization version UID)
+    private static final long serialVersionUID = 1L;
+    // 员工编号(Employee ID)
+    private String employeeId;
+    // 税务数据(Tax data)
+    private TaxData taxData;
+    // 应纳税所得额(Taxable income)
+    private double taxableIncome;
+    // 已计算的应缴税额(Computed tax payable)
+    private double tax;
+
+    public TaxRecord(String employeeId, TaxData taxData, double taxableIncome, double tax) {
+        this.employeeId = employeeId;
+        this.taxData = taxData;
+        this.taxableIncome = taxableIncome;
+        this.tax = tax;
+    }
+
+    // Getters and setters
+    // 获取员工编号(Get employee ID)
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    // 获取税务数据(Get tax data)
+    public TaxData getTaxData() {
+        return taxData;
+    }
+
+    // 获取应纳税所得额(Get taxable income)
+    public double getTaxableIncome() {
+        return taxableIncome;
+    }
+
+    // 获取应缴税额(Get tax payable)
+    public double getTax() {
+        return tax;
+    }
+
+    // 设置应缴税额(Set tax payable)
+    public void setTax(double tax) {
+        this.tax = tax;
+    }
+}
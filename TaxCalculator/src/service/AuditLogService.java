@@ -0,0 +1,301 @@
+package service;
+
+import model.AuditRecord;
+import model.TaxData;
+import model.TaxRate;
+import utils.AuditLogStore;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 审计日志服务(Audit Log Service)
+ * <p>
+ * 记录每次税额计算的输入、税率表版本和结果。记录先放入有界队列，由后台线程按块写入
+ * AuditLogStore，计算路径只需入队。JVM退出时通过关闭钩子写出剩余记录
+ * (Records the inputs, rate table version and result of every tax calculation. Records go into a
+ * bounded queue and a background thread writes them to AuditLogStore in blocks, so the calculation
+ * path only enqueues. A shutdown hook writes the remaining records when the JVM exits)
+ */
+public class AuditLogService {
+    // 每块记录数(Records per block)
+    private static final int BLOCK_SIZE = 4096;
+    // 队列容量(Queue capacity)
+    private static final int QUEUE_CAPACITY = 65536;
+    // 最早的待写记录等待多久后写出未满块（毫秒）
+    // (How long the oldest pending record may wait before a partial block is written, in milliseconds)
+    private static final long FLUSH_INTERVAL_MS = 1000;
+    // 写入失败时的最大尝试次数(Maximum write attempts on failure)
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    // 重试间隔（毫秒）(Retry delay in milliseconds)
+    private static final long RETRY_DELAY_MS = 200;
+    // 员工编号最大长度(Maximum employee ID length)
+    private static final int MAX_EMPLOYEE_ID_LENGTH = 256;
+    // 关闭标记(Shutdown marker)
+    private static final AuditRecord END_OF_LOG = new AuditRecord(0, "", null, 0, 0);
+
+    // 审计日志存储(Audit log store)
+    private AuditLogStore store;
+    // 待写入记录队列(Pending record queue)
+    private BlockingQueue<AuditRecord> queue;
+    // 后台写入线程(Background writer thread)
+    private Thread writerThread;
+    // JVM退出时关闭服务的钩子线程(Shutdown hook thread that closes the service when the JVM exits)
+    private Thread shutdownHook;
+    // 入队取读锁，关闭取写锁，保证关闭标记最后入队
+    // (Enqueueing takes the read lock and closing the write lock, so the shutdown marker is enqueued last)
+    private ReadWriteLock closeLock;
+    // 是否已关闭(Whether the service is closed)
+    private boolean closed;
+
+    /**
+     * 构造函数，初始化审计日志服务并启动后台写入线程
+     * (Constructor to initialize audit log service and start the background writer thread)
+     *
+     * @param directoryPath 审计日志目录路径(Audit log directory path)
+     */
+    public AuditLogService(String directoryPath) {
+        this.store = new AuditLogStore(directoryPath);
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        this.closeLock = new ReentrantReadWriteLock();
+        this.writerThread = new Thread(this::writeLoop, "audit-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        // 任何退出路径（包括System.exit）都会写出剩余记录
+        // (Any exit path, including System.exit, writes the remaining records)
+        this.shutdownHook = new Thread(this::close, "audit-log-shutdown");
+        Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+    }
+
+    /**
+     * 记录一次计算
+     * (Record one calculation)
+     * <p>
+     * 只在队列已满时阻塞，保证不丢失记录；等待时被中断会继续等待直到入队，返回前恢复中断状态
+     * (Blocks only when the queue is full, so no record is dropped; if interrupted while waiting it keeps
+     * waiting until the record is enqueued and restores the interrupt status before returning)
+     *
+     * @param employeeId       员工编号(Employee ID)
+     * @param taxData          税务数据，会复制一份以免后续修改影响记录
+     *                         (Tax data, copied so later changes do not affect the record)
+     * @param rateTableVersion 税率表版本(Tax rate table version)
+     * @param tax              计算得出的应缴税额(Computed tax payable)
+     * @throws IllegalArgumentException 员工编号为null或过长、税务数据为null时抛出
+     *                                  (Thrown if the employee ID is null or too long, or the tax data is null)
+     * @throws IllegalStateException    服务已关闭时抛出(Thrown if the service is closed)
+     */
+    public void record(String employeeId, TaxData taxData, long rateTableVersion, double tax) {
+        if (employeeId == null || employeeId.length() > MAX_EMPLOYEE_ID_LENGTH) {
+            throw new IllegalArgumentException("员工编号无效(Invalid employee ID): " + employeeId);
+        }
+        if (taxData == null) {
+            throw new IllegalArgumentException("税务数据不能为空(Tax data must not be null)");
+        }
+        TaxData snapshot = new TaxData(taxData.getSalaryIncome(), taxData.getBonusIncome(),
+                taxData.getSocialSecurity(), taxData.getProvidentFund(), taxData.getOtherDeductions());
+        AuditRecord record = new AuditRecord(System.currentTimeMillis(), employeeId, snapshot, rateTableVersion, tax);
+
+        boolean interrupted = false;
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("审计日志已关闭(Audit log is closed)");
+            }
+            while (true) {
+                try {
+                    queue.put(record);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            closeLock.readLock().unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 保存税率表版本对应的税率表，以便日后根据记录中的版本还原税率
+     * (Save the tax rate table for a version, so the rates can be recovered from a record's version later)
+     *
+     * @param rateTableVersion 税率表版本(Tax rate table version)
+     * @param taxRates         税率列表(Tax rate list)
+     */
+    public void recordRateTable(long rateTableVersion, List<TaxRate> taxRates) {
+        if (!store.saveRateTable(rateTableVersion, new ArrayList<>(taxRates))) {
+            System.err.println("保存税率表版本错误(Error saving tax rate table version): " + rateTableVersion);
+        }
+    }
+
+    /**
+     * 根据版本查找税率表
+     * (Find the tax rate table for a version)
+     *
+     * @param rateTableVersion 税率表版本(Tax rate table version)
+     * @return 税率列表，未找到时返回null(Tax rate list, or null if not found)
+     */
+    public List<TaxRate> findRateTable(long rateTableVersion) {
+        return store.loadRateTable(rateTableVersion);
+    }
+
+    /**
+     * 按员工编号和时间范围查询，尚在队列中的记录不会被查到。无法读取的块会被跳过并报告到标准错误，
+     * 其余匹配记录照常返回
+     * (Look up by employee ID and time range; records still queued are not visible. Unreadable blocks
+     * are skipped and reported to standard error, and the remaining matches are still returned)
+     *
+     * @param employeeId 员工编号(Employee ID)
+     * @param fromTime   起始时间（含，毫秒时间戳）(Start time, inclusive, epoch milliseconds)
+     * @param toTime     结束时间（含，毫秒时间戳）(End time, inclusive, epoch milliseconds)
+     * @return 可读取的匹配审计记录(Readable matching audit records)
+     */
+    public List<AuditRecord> findByEmployee(String employeeId, long fromTime, long toTime) {
+        List<AuditRecord> results = new ArrayList<>();
+        int unreadable = store.scanByEmployee(employeeId, fromTime, toTime, results::add);
+        if (unreadable > 0) {
+            System.err.println("审计日志查询跳过的块数(Audit log blocks skipped by query): " + unreadable);
+        }
+        return results;
+    }
+
+    /**
+     * 按时间范围逐条扫描，尚在队列中的记录不会被扫描到。结果不在内存中汇总，适合大范围扫描
+     * (Range scan by time, one record at a time; records still queued are not visible. Results are not
+     * collected in memory, so this suits large ranges)
+     *
+     * @param fromTime 起始时间（含，毫秒时间戳）(Start time, inclusive, epoch milliseconds)
+     * @param toTime   结束时间（含，毫秒时间戳）(End time, inclusive, epoch milliseconds)
+     * @param consumer 接收每条匹配记录(Receives each matching record)
+     * @return 所有块都已读取返回true，有块因损坏被跳过返回false
+     * (true if every block was read, false if some were skipped as corrupt)
+     */
+    public boolean scanByTime(long fromTime, long toTime, Consumer<AuditRecord> consumer) {
+        int unreadable = store.scanByTime(fromTime, toTime, consumer);
+        if (unreadable > 0) {
+            System.err.println("审计日志扫描跳过的块数(Audit log blocks skipped by scan): " + unreadable);
+        }
+        return unreadable == 0;
+    }
+
+    /**
+     * 关闭服务，写出队列中剩余的记录后返回，可重复调用
+     * (Close the service, returning after the remaining queued records are written; safe to call repeatedly)
+     */
+    public void close() {
+        boolean interrupted = false;
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // 关闭标记必须入队，否则写入线程不会结束(The marker must be enqueued or the writer never finishes)
+            while (true) {
+                try {
+                    queue.put(END_OF_LOG);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        // 不是由钩子调用时移除钩子，避免已关闭的服务被一直引用
+        // (Remove the hook unless running from it, so closed services are not kept reachable)
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM正在退出，钩子会自行运行(The JVM is already exiting and the hook will run itself)
+            }
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 后台写入循环：攒满一块，或最早的待写记录已等待FLUSH_INTERVAL_MS时写出
+     * (Background write loop: writes when a block is full or the oldest pending record has waited
+     * FLUSH_INTERVAL_MS)
+     */
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(BLOCK_SIZE);
+        // 最早的待写记录的写出期限(Deadline for writing the oldest pending record)
+        long flushDeadline = 0;
+        boolean done = false;
+        while (!done) {
+            long waitMs = batch.isEmpty() ? FLUSH_INTERVAL_MS : flushDeadline - System.currentTimeMillis();
+            AuditRecord record = null;
+            if (waitMs > 0) {
+                try {
+                    record = queue.poll(waitMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // 守护线程不响应中断，继续写入以免丢失记录
+                    // (The daemon thread ignores interrupts and keeps writing so records are not lost)
+                    continue;
+                }
+            }
+            if (record != null) {
+                if (batch.isEmpty()) {
+                    flushDeadline = System.currentTimeMillis() + FLUSH_INTERVAL_MS;
+                }
+                batch.add(record);
+                queue.drainTo(batch, BLOCK_SIZE - batch.size());
+                // 关闭标记总是最后入队(The shutdown marker is always enqueued last)
+                if (batch.get(batch.size() - 1) == END_OF_LOG) {
+                    batch.remove(batch.size() - 1);
+                    done = true;
+                }
+            }
+            if (!batch.isEmpty() && (done || batch.size() >= BLOCK_SIZE
+                    || System.currentTimeMillis() >= flushDeadline)) {
+                writeBatch(batch);
+                batch = new ArrayList<>(BLOCK_SIZE);
+            }
+        }
+    }
+
+    /**
+     * 写出一批记录，失败时重试，仍失败则另存到备用文件，不丢弃记录
+     * (Write a batch, retrying on failure; if it still fails the batch is saved to a fallback file
+     * instead of being dropped)
+     */
+    private void writeBatch(List<AuditRecord> batch) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                store.append(batch);
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("写入审计日志错误(Error writing audit log): " + e);
+            }
+            try {
+                Thread.sleep(RETRY_DELAY_MS * attempt);
+            } catch (InterruptedException e) {
+                // 继续重试(Keep retrying)
+            }
+        }
+        String fallback = store.saveFailedBatch(new ArrayList<>(batch));
+        if (fallback != null) {
+            System.err.println("审计记录已另存(Audit records saved to): " + fallback);
+        } else {
+            System.err.println("审计记录另存失败，记录数(Failed to save audit records, count): " + batch.size());
+        }
+    }
+}
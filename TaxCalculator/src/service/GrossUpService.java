@@ -0,0 +1,241 @@
+package service;
+
+import model.TaxData;
+import model.TaxRate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 税后反算服务(Gross-Up Service)
+ * <p>
+ * 根据目标税后收入反算所需的工资收入，是calculateTax的逆运算。
+ * 税后收入 = 总收入 - 总扣除项 - 应缴税额，在每个税率级别内是应纳税所得额的线性函数，
+ * 因此可以先定位级别再直接求解
+ * (Computes the salary needed for a target net pay, the inverse of calculateTax.
+ * Net pay = total income - total deductions - tax payable, which is linear in taxable income within
+ * each tax rate level, so the level is located first and then solved directly)
+ */
+public class GrossUpService {
+    // 浮点微调的最大步数(Maximum number of floating point adjustment steps)
+    private static final int MAX_ADJUSTMENTS = 4;
+    // 税务计算服务实例(Tax calculation service instance)
+    private TaxCalculationService taxService;
+    // 缓存的预处理税率表(Cached prepared tax rate table)
+    private BracketTable bracketTable;
+    // 缓存的税率表对应的版本(Rate table version of the cached table)
+    private long bracketTableVersion;
+
+    /**
+     * 构造函数，初始化税后反算服务
+     * (Constructor to initialize gross-up service)
+     *
+     * @param taxService 税务计算服务实例(Tax calculation service instance)
+     */
+    public GrossUpService(TaxCalculationService taxService) {
+        this.taxService = taxService;
+    }
+
+    /**
+     * 计算税后收入
+     * (Calculate net pay)
+     *
+     * @param taxData 包含收入和扣除项的税务数据对象
+     *                (Tax data object containing income and deductions)
+     * @return 应纳税所得额 + 标准扣除额 - 应缴税额，即总收入 - 总扣除项 - 应缴税额
+     * (Taxable income + standard deduction - tax payable, i.e. total income - total deductions - tax payable)
+     */
+    public double calculateNetPay(TaxData taxData) {
+        return taxService.calculateTaxableIncome(taxData) + TaxCalculationService.STANDARD_DEDUCTION
+                - taxService.calculateTax(taxData);
+    }
+
+    /**
+     * 根据目标税后收入反算工资收入
+     * (Gross up a target net pay to the required salary)
+     * <p>
+     * 结果按calculateNetPay回代校正，但税后收入随工资以(1 - 税率)的斜率变化，并非每个double值都能精确达到，
+     * 约12%的目标无法精确回代。对连续的税率表（如默认税率表），回代误差不超过总收入（工资 + 奖金）的2个ulp，
+     * 即总收入的约4.5e-16倍（总收入约100万元时不超过约2.4e-10元）；
+     * 税率表在级别边界不连续时，落在跳变处的目标只能取到最接近的一侧
+     * (The result is corrected against calculateNetPay, but net pay moves with salary at slope (1 - rate), so
+     * not every double is reachable exactly and about 12% of targets do not round-trip exactly. For a
+     * continuous table such as the default one, the round-trip error is at most 2 ulps of the total income
+     * (salary + bonus), about 4.5e-16 times the total income (at most about 2.4e-10 for a total income
+     * around one million). If the table is discontinuous at a level boundary, targets inside the jump get
+     * the nearest side)
+     *
+     * @param targetNetPay    目标税后收入(Target net pay)
+     * @param bonusIncome     奖金收入(Bonus income)
+     * @param socialSecurity  社保缴纳金额(Social security contributions)
+     * @param providentFund   公积金缴纳金额(Housing provident fund contributions)
+     * @param otherDeductions 其他扣除项金额(Other deductions)
+     * @return 工资收入已填入的税务数据对象，可直接传给calculateTax
+     * (Tax data object with the salary filled in, ready to pass to calculateTax)
+     * @throws IllegalArgumentException 目标税后收入无法达到时抛出(Thrown if the target net pay is unreachable)
+     */
+    public TaxData grossUp(double targetNetPay, double bonusIncome,
+                           double socialSecurity, double providentFund,
+                           double otherDeductions) {
+        TaxData taxData = new TaxData(0, bonusIncome, socialSecurity, providentFund, otherDeductions);
+        solve(getBracketTable(), targetNetPay, taxData);
+        return taxData;
+    }
+
+    /**
+     * 批量反算工资收入
+     * (Gross up a list of offers)
+     * <p>
+     * 税率表只在版本变化时预处理，每条记录只需一次二分查找和一次求解；误差与grossUp相同
+     * (The tax rate table is prepared only when its version changes; each offer costs one binary search and
+     * one solve. The error bound is the same as grossUp)
+     *
+     * @param offers        税务数据列表，工资收入字段会被忽略
+     *                      (Tax data list, the salary field is ignored)
+     * @param targetNetPays 与offers一一对应的目标税后收入(Target net pays matching offers one to one)
+     * @return 工资收入已填入的新税务数据列表(New tax data list with salaries filled in)
+     * @throws IllegalArgumentException 数量不一致或目标无法达到时抛出
+     *                                  (Thrown if the sizes differ or a target is unreachable)
+     */
+    public List<TaxData> grossUpAll(List<TaxData> offers, double[] targetNetPays) {
+        if (offers.size() != targetNetPays.length) {
+            throw new IllegalArgumentException("目标税后收入数量与记录数不一致(Number of targets does not match number of offers)");
+        }
+        BracketTable table = getBracketTable();
+        List<TaxData> results = new ArrayList<>(offers.size());
+        for (int i = 0; i < targetNetPays.length; i++) {
+            TaxData offer = offers.get(i);
+            TaxData taxData = new TaxData(0, offer.getBonusIncome(),
+                    offer.getSocialSecurity(), offer.getProvidentFund(), offer.getOtherDeductions());
+            solve(table, targetNetPays[i], taxData);
+            results.add(taxData);
+        }
+        return results;
+    }
+
+    /**
+     * 获取预处理税率表，税率表版本变化时重建
+     * (Get the prepared tax rate table, rebuilt when the rate table version changes)
+     */
+    private synchronized BracketTable getBracketTable() {
+        long version = taxService.getRateTableVersion();
+        if (bracketTable == null || bracketTableVersion != version) {
+            bracketTable = new BracketTable(taxService.getTaxRates());
+            bracketTableVersion = version;
+        }
+        return bracketTable;
+    }
+
+    /**
+     * 求解工资收入并填入税务数据
+     * (Solve for the salary and fill it into the tax data)
+     *
+     * @param table   预处理税率表(Prepared tax rate table)
+     * @param taxData 工资收入为0的税务数据，求解后填入工资收入(Tax data with zero salary; the salary is filled in)
+     */
+    private void solve(BracketTable table, double targetNetPay, TaxData taxData) {
+        // 税后收入 = 应纳税所得额 - 税额 + 标准扣除额(Net pay = taxable income - tax + standard deduction)
+        double taxableIncome = table.solveTaxableIncome(targetNetPay - TaxCalculationService.STANDARD_DEDUCTION);
+        // 工资为0时的应纳税所得额，工资每增加1元应纳税所得额增加1元
+        // (Taxable income with zero salary; each yuan of salary adds one yuan of taxable income)
+        double salary = taxableIncome - taxService.calculateTaxableIncome(taxData);
+        taxData.setSalaryIncome(salary);
+
+        // 用calculateNetPay校正舍入误差，使结果尽量精确回代
+        // (Correct rounding error against calculateNetPay so the result round-trips as closely as possible)
+        double error = calculateNetPay(taxData) - targetNetPay;
+        for (int step = 0; step < MAX_ADJUSTMENTS && error != 0; step++) {
+            double candidate = error < 0 ? Math.nextUp(salary) : Math.nextDown(salary);
+            taxData.setSalaryIncome(candidate);
+            double candidateError = calculateNetPay(taxData) - targetNetPay;
+            if (Math.abs(candidateError) > Math.abs(error)) {
+                taxData.setSalaryIncome(salary);
+                break;
+            }
+            salary = candidate;
+            error = candidateError;
+        }
+
+        if (salary < 0) {
+            throw new IllegalArgumentException("目标税后收入过低，所需工资为负数(Target net pay is too low, the required salary is negative)");
+        }
+    }
+
+    /**
+     * 预处理后的税率表
+     * (Prepared tax rate table)
+     * <p>
+     * 按下限排序，并记录每个级别上限处的税后所得额（应纳税所得额 - 税额），用于二分定位级别
+     * (Sorted by lower bound, with the after-tax amount (taxable income - tax) at each level's upper bound
+     * recorded for binary search)
+     */
+    private static class BracketTable {
+        private final double[] lowerBounds;
+        private final double[] upperBounds;
+        private final double[] rates;
+        private final double[] quickDeductions;
+        // 各级别上限处的 应纳税所得额 - 税额(Taxable income - tax at each level's upper bound)
+        private final double[] afterTaxAtUpper;
+
+        BracketTable(List<TaxRate> taxRates) {
+            List<TaxRate> sorted = new ArrayList<>(taxRates);
+            sorted.sort(Comparator.comparingDouble(TaxRate::getLowerBound));
+            int n = sorted.size();
+            lowerBounds = new double[n];
+            upperBounds = new double[n];
+            rates = new double[n];
+            quickDeductions = new double[n];
+            afterTaxAtUpper = new double[n];
+            for (int i = 0; i < n; i++) {
+                TaxRate rate = sorted.get(i);
+                lowerBounds[i] = rate.getLowerBound();
+                upperBounds[i] = rate.getUpperBound();
+                rates[i] = rate.getRate();
+                quickDeductions[i] = rate.getQuickDeduction();
+                afterTaxAtUpper[i] = upperBounds[i] - (upperBounds[i] * rates[i] - quickDeductions[i]);
+            }
+        }
+
+        /**
+         * 求解税后所得额（应纳税所得额 - 税额）对应的应纳税所得额
+         * (Solve for the taxable income with a given after-tax amount, taxable income - tax)
+         */
+        double solveTaxableIncome(double afterTax) {
+            if (afterTax <= 0) {
+                // 无需缴税(No tax payable)
+                return afterTax;
+            }
+            int i = findLevelByAfterTax(afterTax);
+            if (i < 0) {
+                throw new IllegalArgumentException("目标税后收入超出税率表范围(Target net pay is beyond the tax rate table)");
+            }
+            // 级别内：afterTax = t * (1 - rate) + quickDeduction
+            // (Within a level: afterTax = t * (1 - rate) + quickDeduction)
+            double taxableIncome = (afterTax - quickDeductions[i]) / (1 - rates[i]);
+            if (taxableIncome <= lowerBounds[i]) {
+                return Math.nextUp(lowerBounds[i]);
+            }
+            return Math.min(taxableIncome, upperBounds[i]);
+        }
+
+        /**
+         * 二分查找税后所得额所在的级别(Binary search the level containing an after-tax amount)
+         */
+        private int findLevelByAfterTax(double afterTax) {
+            int low = 0;
+            int high = afterTaxAtUpper.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (afterTaxAtUpper[mid] >= afterTax) {
+                    found = mid;
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return found;
+        }
+    }
+}
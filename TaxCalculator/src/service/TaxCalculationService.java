@@ -5,6 +5,7 @@ import model.TaxRate;
 import utils.FileUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,10 +15,16 @@ import java.util.List;
  * (Responsible for personal income tax calculation logic and tax rate data management)
  */
 public class TaxCalculationService {
+    // 标准扣除额(Standard deduction)
+    public static final double STANDARD_DEDUCTION = 5000;
     // 税率数据文件路径(Tax rate data file path)
     private static final String TAX_RATES_FILE = "data/tax_rates.dat";
     // 税率列表(Tax rate list)
     private List<TaxRate> taxRates;
+    // 税率表版本，由税率内容计算得出(Tax rate table version, derived from the rate contents)
+    private long rateTableVersion;
+    // 审计日志服务，为null时不记录(Audit log service, nothing is recorded when null)
+    private AuditLogService auditLog;
 
     /**
      * 构造函数，初始化税率数据
@@ -41,6 +48,7 @@ public class TaxCalculationService {
             taxRates.add(new TaxRate(960000, Double.MAX_VALUE, 0.45, 181920));
             saveTaxRates();
         }
+        rateTableVersion = computeRateTableVersion();
     }
 
     /**
@@ -66,6 +74,102 @@ public class TaxCalculationService {
         FileUtils.writeObjectToFile(TAX_RATES_FILE, taxRates);
     }
 
+    /**
+     * 获取当前税率表
+     * (Get the current tax rate table)
+     *
+     * @return 只读的税率列表(Read-only tax rate list)
+     */
+    public List<TaxRate> getTaxRates() {
+        return Collections.unmodifiableList(taxRates);
+    }
+
+    /**
+     * 更新税率表
+     * (Update the tax rate table)
+     * <p>
+     * 替换当前税率并保存到文件
+     * (Replaces the current rates and saves them to file)
+     *
+     * @param newTaxRates 新的税率列表(New tax rate list)
+     */
+    public void updateTaxRates(List<TaxRate> newTaxRates) {
+        taxRates = new ArrayList<>(newTaxRates);
+        rateTableVersion = computeRateTableVersion();
+        saveTaxRates();
+        // 在使用新税率计算之前保存该版本的税率表(Save this version's table before any calculation uses it)
+        if (auditLog != null) {
+            auditLog.recordRateTable(rateTableVersion, taxRates);
+        }
+    }
+
+    /**
+     * 获取税率表版本
+     * (Get the tax rate table version)
+     * <p>
+     * 版本由税率内容计算，相同的税率表在重启后得到相同的版本
+     * (The version is computed from the rate contents, so the same table keeps its version across restarts)
+     *
+     * @return 税率表版本(Tax rate table version)
+     */
+    public long getRateTableVersion() {
+        return rateTableVersion;
+    }
+
+    /**
+     * 设置审计日志服务
+     * (Set the audit log service)
+     * <p>
+     * 同时保存当前版本的税率表，使审计记录中的版本能够还原为具体税率
+     * (Also saves the current version's rate table, so the version in an audit record can be
+     * resolved to the actual rates)
+     *
+     * @param auditLog 审计日志服务，为null时关闭审计(Audit log service, null disables auditing)
+     */
+    public void setAuditLog(AuditLogService auditLog) {
+        this.auditLog = auditLog;
+        if (auditLog != null) {
+            auditLog.recordRateTable(rateTableVersion, taxRates);
+        }
+    }
+
+    /**
+     * 根据税率内容计算版本号
+     * (Compute the version from the rate contents)
+     */
+    private long computeRateTableVersion() {
+        long version = 1;
+        for (TaxRate rate : taxRates) {
+            version = version * 1000003 ^ Double.doubleToLongBits(rate.getLowerBound());
+            version = version * 1000003 ^ Double.doubleToLongBits(rate.getUpperBound());
+            version = version * 1000003 ^ Double.doubleToLongBits(rate.getRate());
+            version = version * 1000003 ^ Double.doubleToLongBits(rate.getQuickDeduction());
+        }
+        return version;
+    }
+
+    /**
+     * 计算应纳税所得额
+     * (Calculate taxable income)
+     * <p>
+     * 总收入 - 总扣除项 - 标准扣除额5000元
+     * (Total income - total deductions - standard deduction of 5000 yuan)
+     *
+     * @param taxData 包含收入和扣除项的税务数据对象
+     *                (Tax data object containing income and deductions)
+     * @return 应纳税所得额，可能小于等于0
+     * (Taxable income, may be less than or equal to 0)
+     */
+    public double calculateTaxableIncome(TaxData taxData) {
+        // 计算总收入(Calculate total income)
+        double totalIncome = taxData.getSalaryIncome() + taxData.getBonusIncome();
+        // 计算总扣除项(Calculate total deductions)
+        double totalDeductions = taxData.getSocialSecurity() +
+                taxData.getProvidentFund() +
+                taxData.getOtherDeductions();
+        return totalIncome - totalDeductions - STANDARD_DEDUCTION;
+    }
+
     /**
      * 计算个人所得税
      * (Calculate personal income tax)
@@ -79,15 +183,9 @@ public class TaxCalculationService {
      * (Calculated tax payable)
      */
     public double calculateTax(TaxData taxData) {
-        // 计算总收入(Calculate total income)
-        double totalIncome = taxData.getSalaryIncome() + taxData.getBonusIncome();
-        // 计算总扣除项(Calculate total deductions)
-        double totalDeductions = taxData.getSocialSecurity() +
-                taxData.getProvidentFund() +
-                taxData.getOtherDeductions();
         // 计算应纳税所得额（总收入 - 总扣除项 - 标准扣除额5000元）
         // (Calculate taxable income (total income - total deductions - standard deduction of 5000 yuan))
-        double taxableIncome = totalIncome - totalDeductions - 5000;
+        double taxableIncome = calculateTaxableIncome(taxData);
 
         // 应纳税所得额小于等于0时，无需缴税
         // (No tax payable if taxable income is less than or equal to 0)
@@ -106,6 +204,43 @@ public class TaxCalculationService {
         return 0;
     }
 
+    /**
+     * 计算个人所得税并记录审计日志
+     * (Calculate personal income tax and record it in the audit log)
+     * <p>
+     * 未设置审计日志服务时与calculateTax(TaxData)相同
+     * (Same as calculateTax(TaxData) when no audit log service is set)
+     *
+     * @param employeeId 员工编号(Employee ID)
+     * @param taxData    包含收入和扣除项的税务数据对象
+     *                   (Tax data object containing income and deductions)
+     * @return 计算得出的应缴税额
+     * (Calculated tax payable)
+     */
+    public double calculateTax(String employeeId, TaxData taxData) {
+        double tax = calculateTax(taxData);
+        if (auditLog != null) {
+            auditLog.record(employeeId, taxData, rateTableVersion, tax);
+        }
+        return tax;
+    }
+
+    /**
+     * 获取税务计算详情并记录审计日志
+     * (Get tax calculation details and record the calculation in the audit log)
+     *
+     * @param employeeId 员工编号(Employee ID)
+     * @param taxData    包含收入和扣除项的税务数据对象
+     *                   (Tax data object containing income and deductions)
+     * @return 格式化的计算详情字符串
+     * (Formatted calculation details string)
+     */
+    public String getCalculationDetails(String employeeId, TaxData taxData) {
+        // 计算并记录审计日志(Calculate and record in the audit log)
+        calculateTax(employeeId, taxData);
+        return getCalculationDetails(taxData);
+    }
+
     /**
      * 获取税务计算详情
      * (Get tax calculation details)
@@ -126,7 +261,7 @@ public class TaxCalculationService {
                 taxData.getProvidentFund() +
                 taxData.getOtherDeductions();
         // 计算应纳税所得额(Calculate taxable income)
-        double taxableIncome = totalIncome - totalDeductions - 5000;
+        double taxableIncome = calculateTaxableIncome(taxData);
 
         // 应纳税所得额小于等于0时的处理
         // (Handling when taxable income is less than or equal to 0)
@@ -139,7 +274,7 @@ public class TaxCalculationService {
         details.append("计算详情(Calculation Details):\n");
         details.append(String.format("总收入(Total Income): %.2f\n", totalIncome));
         details.append(String.format("总扣除项(Total Deductions): %.2f\n", totalDeductions));
-        details.append(String.format("标准扣除额(Standard Deduction): 5000.00\n"));
+        details.append(String.format("标准扣除额(Standard Deduction): %.2f\n", STANDARD_DEDUCTION));
         details.append(String.format("应纳税所得额(Taxable Income): %.2f\n", taxableIncome));
 
         // 添加适用税率和速算扣除数信息
@@ -0,0 +1,223 @@
+package service;
+
+import model.AuditRecord;
+import model.TaxData;
+import model.TaxDelta;
+import model.TaxRate;
+import model.TaxRecord;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 增量重算服务(Incremental Recalculation Service)
+ * <p>
+ * 税率表变更后，只重新计算应纳税所得额落在变更区间内的记录
+ * (After a tax rate table change, recalculates only the records whose taxable income
+ * falls into the changed ranges)
+ */
+public class TaxRecalculationService {
+    // 税务计算服务实例(Tax calculation service instance)
+    private TaxCalculationService taxService;
+    // 按应纳税所得额排序的记录索引(Record index ordered by taxable income)
+    private TreeMap<Double, List<TaxRecord>> incomeIndex;
+
+    /**
+     * 构造函数，初始化增量重算服务
+     * (Constructor to initialize incremental recalculation service)
+     *
+     * @param taxService 税务计算服务实例(Tax calculation service instance)
+     */
+    public TaxRecalculationService(TaxCalculationService taxService) {
+        this.taxService = taxService;
+        this.incomeIndex = new TreeMap<>();
+    }
+
+    /**
+     * 计算并登记一条记录
+     * (Calculate and register a record)
+     *
+     * @param employeeId 员工编号(Employee ID)
+     * @param taxData    税务数据，会复制一份，之后修改不影响索引
+     *                   (Tax data, copied so later changes do not affect the index)
+     * @return 已计算并加入索引的记录(The computed record, added to the index)
+     */
+    public TaxRecord addRecord(String employeeId, TaxData taxData) {
+        TaxData snapshot = new TaxData(taxData.getSalaryIncome(), taxData.getBonusIncome(),
+                taxData.getSocialSecurity(), taxData.getProvidentFund(), taxData.getOtherDeductions());
+        TaxRecord record = new TaxRecord(employeeId, snapshot,
+                taxService.calculateTaxableIncome(snapshot),
+                taxService.calculateTax(employeeId, snapshot));
+        addRecord(record);
+        return record;
+    }
+
+    /**
+     * 登记一条已计算的记录
+     * (Register a previously computed record)
+     * <p>
+     * 索引以记录中的应纳税所得额为键，登记后不应再修改其税务数据
+     * (The index is keyed on the record's taxable income, so its tax data must not be modified afterwards)
+     *
+     * @param record 已计算的记录(Previously computed record)
+     */
+    public void addRecord(TaxRecord record) {
+        incomeIndex.computeIfAbsent(record.getTaxableIncome(), k -> new ArrayList<>()).add(record);
+    }
+
+    /**
+     * 从审计日志载入每位员工最近一次的计算结果
+     * (Load each employee's most recent calculation from the audit log)
+     * <p>
+     * 记录时的税率表版本与当前不同时按当前税率表重新计算税额（不写审计日志），使索引与当前税率表一致
+     * (Records made under a different rate table version have their tax recomputed with the current table,
+     * without auditing, so the index is consistent with it)
+     *
+     * @param auditLog 审计日志服务(Audit log service)
+     * @return 载入的记录数(Number of records loaded)
+     */
+    public int loadFromAuditLog(AuditLogService auditLog) {
+        Map<String, AuditRecord> latest = new HashMap<>();
+        auditLog.scanByTime(Long.MIN_VALUE, Long.MAX_VALUE, record -> {
+            AuditRecord previous = latest.get(record.getEmployeeId());
+            if (previous == null || record.getTimestamp() >= previous.getTimestamp()) {
+                latest.put(record.getEmployeeId(), record);
+            }
+        });
+        long rateTableVersion = taxService.getRateTableVersion();
+        for (AuditRecord record : latest.values()) {
+            TaxData taxData = record.getTaxData();
+            double tax = record.getRateTableVersion() == rateTableVersion ?
+                    record.getTax() : taxService.calculateTax(taxData);
+            addRecord(new TaxRecord(record.getEmployeeId(), taxData, taxService.calculateTaxableIncome(taxData), tax));
+        }
+        return latest.size();
+    }
+
+    /**
+     * 应用新税率表并增量重算
+     * (Apply a new tax rate table and recalculate incrementally)
+     * <p>
+     * 比较新旧税率表找出税额公式发生变化的所得额区间，只重算这些区间内的记录
+     * (Diffs the old and new tables to find the taxable income ranges whose formula changed,
+     * and recalculates only the records in those ranges)
+     *
+     * @param newTaxRates 新的税率列表(New tax rate list)
+     * @return 税额发生变化的记录列表(List of records whose tax changed)
+     */
+    public List<TaxDelta> recalculate(List<TaxRate> newTaxRates) {
+        List<double[]> ranges = findChangedRanges(new ArrayList<>(taxService.getTaxRates()), newTaxRates);
+        taxService.updateTaxRates(newTaxRates);
+
+        List<TaxDelta> deltas = new ArrayList<>();
+        for (double[] range : ranges) {
+            // 区间为左开右闭，与税率级别的判断方式一致
+            // (Ranges are left-open and right-closed, matching how tax rate levels are matched)
+            NavigableMap<Double, List<TaxRecord>> affected = incomeIndex.subMap(range[0], false, range[1], true);
+            for (List<TaxRecord> records : affected.values()) {
+                for (TaxRecord record : records) {
+                    double oldTax = record.getTax();
+                    double newTax = taxService.calculateTax(record.getEmployeeId(), record.getTaxData());
+                    if (newTax != oldTax) {
+                        record.setTax(newTax);
+                        deltas.add(new TaxDelta(record.getEmployeeId(), record.getTaxableIncome(), oldTax, newTax));
+                    }
+                }
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 生成变更报告
+     * (Generate delta report)
+     *
+     * @param deltas 税额变化列表(List of tax changes)
+     * @return 格式化的变更报告字符串(Formatted delta report string)
+     */
+    public String getDeltaReport(List<TaxDelta> deltas) {
+        StringBuilder report = new StringBuilder();
+        report.append("税率变更重算报告(Rate Change Recalculation Report):\n");
+        double total = 0;
+        for (TaxDelta delta : deltas) {
+            report.append(String.format("%s  应纳税所得额(Taxable Income): %.2f  原税额(Old Tax): %.2f  新税额(New Tax): %.2f  变化(Change): %+.2f\n",
+                    delta.getEmployeeId(), delta.getTaxableIncome(),
+                    delta.getOldTax(), delta.getNewTax(), delta.getDifference()));
+            total += delta.getDifference();
+        }
+        report.append(String.format("受影响记录数(Affected Records): %d\n", deltas.size()));
+        report.append(String.format("税额变化合计(Total Change): %+.2f\n", total));
+        return report.toString();
+    }
+
+    /**
+     * 找出税额公式发生变化的所得额区间
+     * (Find the taxable income ranges whose tax formula changed)
+     * <p>
+     * 以两张表的所有边界划分区间，每个区间内各自适用的税率级别是固定的
+     * (Splits the axis at every bound of both tables; within each segment the applicable level
+     * of each table is fixed)
+     *
+     * @param oldTaxRates 原税率列表(Old tax rate list)
+     * @param newTaxRates 新税率列表(New tax rate list)
+     * @return 合并后的区间列表，每项为{下限, 上限}
+     * (Merged list of ranges, each as {lower bound, upper bound})
+     */
+    private List<double[]> findChangedRanges(List<TaxRate> oldTaxRates, List<TaxRate> newTaxRates) {
+        TreeSet<Double> bounds = new TreeSet<>();
+        // 应纳税所得额小于等于0时税额恒为0(Tax is always 0 when taxable income is at most 0)
+        bounds.add(0.0);
+        for (TaxRate rate : oldTaxRates) {
+            bounds.add(rate.getLowerBound());
+            bounds.add(rate.getUpperBound());
+        }
+        for (TaxRate rate : newTaxRates) {
+            bounds.add(rate.getLowerBound());
+            bounds.add(rate.getUpperBound());
+        }
+
+        List<double[]> ranges = new ArrayList<>();
+        Double lower = null;
+        for (double upper : bounds.tailSet(0.0, true)) {
+            if (lower != null && !sameRate(findRate(oldTaxRates, upper), findRate(newTaxRates, upper))) {
+                double[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                if (last != null && last[1] == lower) {
+                    last[1] = upper;
+                } else {
+                    ranges.add(new double[]{lower, upper});
+                }
+            }
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    /**
+     * 查找适用的税率级别，匹配规则与calculateTax一致
+     * (Find the applicable tax rate level, using the same matching rule as calculateTax)
+     */
+    private static TaxRate findRate(List<TaxRate> taxRates, double taxableIncome) {
+        for (TaxRate rate : taxRates) {
+            if (taxableIncome > rate.getLowerBound() && taxableIncome <= rate.getUpperBound()) {
+                return rate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断两个税率级别的计税公式是否相同
+     * (Check whether two tax rate levels produce the same formula)
+     */
+    private static boolean sameRate(TaxRate a, TaxRate b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getRate() == b.getRate() && a.getQuickDeduction() == b.getQuickDeduction();
+    }
+}
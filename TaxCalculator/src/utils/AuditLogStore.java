@@ -0,0 +1,599 @@
+package utils;
+
+import model.AuditRecord;
+import model.TaxData;
+import model.TaxRate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileLock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 审计日志存储(Audit Log Store)
+ * <p>
+ * 按天分段的只追加文件：每段包含一个数据文件(.log)和一个稀疏索引文件(.idx)。
+ * 数据文件由压缩块组成，索引为每个块记录偏移量、时间范围和员工编号的布隆过滤器，
+ * 查询时只需解压可能命中的块
+ * (Append-only files segmented by day: each segment has a data file (.log) and a sparse index file (.idx).
+ * The data file is a sequence of compressed blocks; the index keeps each block's offset, time range and
+ * a Bloom filter of employee IDs, so queries only decompress blocks that may match)
+ * <p>
+ * 追加时持有分段索引文件的排他文件锁，多个进程可以写入同一目录；已写入的块不会再改变，
+ * 因此查询只在锁内取索引快照，解压和读取都在锁外进行
+ * (Appends hold an exclusive file lock on the segment index, so several processes can write to the same
+ * directory. Written blocks never change, so queries only snapshot the index under the lock and
+ * read and decompress blocks outside it)
+ */
+public class AuditLogStore {
+    // 一天的毫秒数(Milliseconds per day)
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    // 布隆过滤器每条记录的位数(Bloom filter bits per record)
+    private static final int BLOOM_BITS_PER_RECORD = 8;
+    // 布隆过滤器哈希次数(Number of Bloom filter hashes)
+    private static final int BLOOM_HASHES = 4;
+    // 数据文件扩展名(Data file extension)
+    private static final String LOG_SUFFIX = ".log";
+    // 索引文件扩展名(Index file extension)
+    private static final String INDEX_SUFFIX = ".idx";
+    // 税率表版本文件前缀(Tax rate table version file prefix)
+    private static final String RATE_TABLE_PREFIX = "rates-";
+    // 写入失败记录的备用文件前缀(Prefix of fallback files for records that failed to write)
+    private static final String FAILED_PREFIX = "failed-";
+    // 最多缓存的分段索引数(Maximum number of cached segment indexes)
+    private static final int MAX_CACHED_SEGMENTS = 64;
+    // 单块最大记录数，超出视为索引损坏(Maximum records per block; larger values mean a corrupt index)
+    private static final int MAX_BLOCK_RECORDS = 1 << 20;
+    // 单块最大压缩长度，超出视为索引损坏(Maximum compressed block length; larger values mean a corrupt index)
+    private static final int MAX_BLOCK_LENGTH = 1 << 28;
+    // 文件锁属于进程，同一JVM内的写入先在此同步(File locks are per process, so writers in one JVM sync here first)
+    private static final Object PROCESS_WRITE_LOCK = new Object();
+
+    // 存储目录(Storage directory)
+    private File directory;
+    // 已加载的分段索引缓存，键为分段名(Loaded segment index cache keyed by segment name)
+    private Map<String, SegmentIndex> indexCache;
+
+    /**
+     * 构造函数，初始化审计日志存储
+     * (Constructor to initialize audit log store)
+     *
+     * @param directoryPath 存储目录路径，不存在时自动创建(Storage directory path, created if missing)
+     */
+    public AuditLogStore(String directoryPath) {
+        this.directory = new File(directoryPath);
+        this.directory.mkdirs();
+        // 按访问顺序淘汰最久未用的分段索引(Evict the least recently used segment index)
+        this.indexCache = new LinkedHashMap<String, SegmentIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SegmentIndex> eldest) {
+                return size() > MAX_CACHED_SEGMENTS;
+            }
+        };
+    }
+
+    /**
+     * 追加一批记录
+     * (Append a batch of records)
+     * <p>
+     * 按日期分组，每个分段写入一个压缩块，先写数据再写索引，
+     * 因此中断时最多丢失未建立索引的尾部数据。已成功写入的记录会从列表中移除，
+     * 出错后用同一列表重试不会重复写入
+     * (Groups records by day and writes one compressed block per segment. Data is written before the
+     * index entry, so an interruption can at most lose an unindexed tail. Records written successfully
+     * are removed from the list, so retrying with the same list after an error writes nothing twice)
+     *
+     * @param records 审计记录列表(Audit record list)
+     * @throws IOException 写入文件出错时抛出(Thrown if writing fails)
+     */
+    public void append(List<AuditRecord> records) throws IOException {
+        synchronized (PROCESS_WRITE_LOCK) {
+            appendLocked(records);
+        }
+    }
+
+    private void appendLocked(List<AuditRecord> records) throws IOException {
+        Map<String, List<AuditRecord>> bySegment = new TreeMap<>();
+        for (AuditRecord record : records) {
+            bySegment.computeIfAbsent(segmentName(record.getTimestamp()), k -> new ArrayList<>()).add(record);
+        }
+        for (Map.Entry<String, List<AuditRecord>> entry : bySegment.entrySet()) {
+            writeBlock(entry.getKey(), entry.getValue());
+            String segment = entry.getKey();
+            for (Iterator<AuditRecord> it = records.iterator(); it.hasNext(); ) {
+                if (segmentName(it.next().getTimestamp()).equals(segment)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 保存税率表版本对应的税率表，已存在时跳过
+     * (Save the tax rate table for a version, skipped if it already exists)
+     *
+     * @param rateTableVersion 税率表版本(Tax rate table version)
+     * @param taxRates         税率列表(Tax rate list)
+     * @return 保存成功或已存在返回true(true if saved or already present)
+     */
+    public synchronized boolean saveRateTable(long rateTableVersion, ArrayList<TaxRate> taxRates) {
+        File file = new File(directory, rateTableFileName(rateTableVersion));
+        if (file.exists()) {
+            return true;
+        }
+        return FileUtils.writeObjectToFile(file.getPath(), taxRates);
+    }
+
+    /**
+     * 读取税率表版本对应的税率表
+     * (Load the tax rate table for a version)
+     *
+     * @param rateTableVersion 税率表版本(Tax rate table version)
+     * @return 税率列表，未找到时返回null(Tax rate list, or null if not found)
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<TaxRate> loadRateTable(long rateTableVersion) {
+        File file = new File(directory, rateTableFileName(rateTableVersion));
+        if (!file.exists()) {
+            return null;
+        }
+        return (List<TaxRate>) FileUtils.readObjectFromFile(file.getPath());
+    }
+
+    /**
+     * 将无法写入分段的记录序列化保存到备用文件
+     * (Serialize records that could not be written to a segment into a fallback file)
+     *
+     * @param records 审计记录列表(Audit record list)
+     * @return 备用文件路径，失败时返回null(Fallback file path, or null on failure)
+     */
+    public synchronized String saveFailedBatch(ArrayList<AuditRecord> records) {
+        File file = new File(directory, FAILED_PREFIX + System.currentTimeMillis() + "-" + System.nanoTime() + ".dat");
+        return FileUtils.writeObjectToFile(file.getPath(), records) ? file.getPath() : null;
+    }
+
+    /**
+     * 按员工编号和时间范围逐条扫描
+     * (Scan records by employee ID and time range, one at a time)
+     *
+     * @param employeeId 员工编号(Employee ID)
+     * @param fromTime   起始时间（含）(Start time, inclusive)
+     * @param toTime     结束时间（含）(End time, inclusive)
+     * @param consumer   接收每条匹配记录(Receives each matching record)
+     * @return 无法读取而被跳过的块数(Number of blocks skipped because they could not be read)
+     */
+    public int scanByEmployee(String employeeId, long fromTime, long toTime, Consumer<AuditRecord> consumer) {
+        return scan(employeeId, fromTime, toTime, consumer);
+    }
+
+    /**
+     * 按时间范围逐条扫描
+     * (Scan records by time range, one at a time)
+     *
+     * @param fromTime 起始时间（含）(Start time, inclusive)
+     * @param toTime   结束时间（含）(End time, inclusive)
+     * @param consumer 接收每条匹配记录(Receives each matching record)
+     * @return 无法读取而被跳过的块数(Number of blocks skipped because they could not be read)
+     */
+    public int scanByTime(long fromTime, long toTime, Consumer<AuditRecord> consumer) {
+        return scan(null, fromTime, toTime, consumer);
+    }
+
+    /**
+     * 扫描时间范围内的分段和块，employeeId为null时不按员工过滤
+     * (Scan the segments and blocks in a time range; no employee filter when employeeId is null)
+     * <p>
+     * 只在取索引快照时持有监视器，追加不会被长时间的扫描阻塞；
+     * 损坏的块单独跳过并报告，其余记录照常返回
+     * (The monitor is held only while taking the index snapshot, so appends are never stalled by a long
+     * scan. Corrupt blocks are skipped and reported individually and the remaining records are still returned)
+     */
+    private int scan(String employeeId, long fromTime, long toTime, Consumer<AuditRecord> consumer) {
+        int unreadable = 0;
+        List<String> segments = listSegments();
+        if (segments.isEmpty()) {
+            return unreadable;
+        }
+        // 先把时间范围限制在已有分段内，避免超出日期可表示范围
+        // (Clamp the time range to the existing segments first so it never exceeds the representable dates)
+        long firstDay = segmentDay(segments.get(0));
+        long lastDay = segmentDay(segments.get(segments.size() - 1));
+        long fromDay = Math.max(Math.floorDiv(fromTime, MILLIS_PER_DAY), firstDay);
+        long toDay = Math.min(Math.floorDiv(toTime, MILLIS_PER_DAY), lastDay);
+        if (fromDay > toDay) {
+            return unreadable;
+        }
+        String fromSegment = dayName(fromDay);
+        String toSegment = dayName(toDay);
+        for (String segment : segments) {
+            if (segment.compareTo(fromSegment) < 0 || segment.compareTo(toSegment) > 0) {
+                continue;
+            }
+            List<BlockIndex> candidates = new ArrayList<>();
+            synchronized (this) {
+                SegmentIndex index;
+                try {
+                    index = refreshIndex(segment, null);
+                } catch (IOException e) {
+                    System.err.println("读取审计日志索引错误(Error reading audit log index) " + segment + ": " + e.getMessage());
+                    unreadable++;
+                    continue;
+                }
+                for (BlockIndex block : index.blocks) {
+                    if (block.maxTimestamp < fromTime || block.minTimestamp > toTime) {
+                        continue;
+                    }
+                    if (employeeId != null && !block.mightContain(employeeId)) {
+                        continue;
+                    }
+                    candidates.add(block);
+                }
+            }
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            try (RandomAccessFile log = new RandomAccessFile(new File(directory, segment + LOG_SUFFIX), "r")) {
+                for (BlockIndex block : candidates) {
+                    List<AuditRecord> records;
+                    try {
+                        records = readBlock(log, block);
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("跳过无法读取的审计日志块(Skipping unreadable audit log block) "
+                                + segment + "@" + block.offset + ": " + e.getMessage());
+                        unreadable++;
+                        continue;
+                    }
+                    for (AuditRecord record : records) {
+                        if (record.getTimestamp() >= fromTime && record.getTimestamp() <= toTime &&
+                                (employeeId == null || employeeId.equals(record.getEmployeeId()))) {
+                            consumer.accept(record);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("读取审计日志错误(Error reading audit log) " + segment + ": " + e.getMessage());
+                unreadable += candidates.size();
+            }
+        }
+        return unreadable;
+    }
+
+    /**
+     * 将一组同一天的记录压缩后写入分段
+     * (Compress a group of same-day records and write them to a segment)
+     */
+    private void writeBlock(String segment, List<AuditRecord> records) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(records.size() * 64);
+        DataOutputStream out = new DataOutputStream(raw);
+        BlockIndex block = new BlockIndex(records.size());
+        for (AuditRecord record : records) {
+            TaxData taxData = record.getTaxData();
+            out.writeLong(record.getTimestamp());
+            out.writeUTF(record.getEmployeeId());
+            out.writeDouble(taxData.getSalaryIncome());
+            out.writeDouble(taxData.getBonusIncome());
+            out.writeDouble(taxData.getSocialSecurity());
+            out.writeDouble(taxData.getProvidentFund());
+            out.writeDouble(taxData.getOtherDeductions());
+            out.writeLong(record.getRateTableVersion());
+            out.writeDouble(record.getTax());
+            block.add(record);
+        }
+        out.flush();
+        byte[] compressed = compress(raw.toByteArray());
+
+        ByteArrayOutputStream entry = new ByteArrayOutputStream((int) block.sizeInBytes());
+        File logFile = new File(directory, segment + LOG_SUFFIX);
+        File indexFile = new File(directory, segment + INDEX_SUFFIX);
+        // 在排他文件锁内取偏移量并写入数据和索引，其他进程的追加不会交错
+        // (Take the offset and write data and index under an exclusive file lock so appends from other
+        // processes never interleave)
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            FileLock lock = index.getChannel().lock();
+            synchronized (this) {
+                try {
+                    SegmentIndex segmentIndex = refreshIndex(segment, index);
+                    try (RandomAccessFile log = new RandomAccessFile(logFile, "rw")) {
+                        block.offset = log.length();
+                        block.length = compressed.length;
+                        log.seek(block.offset);
+                        log.write(compressed);
+                    }
+                    block.writeTo(new DataOutputStream(entry));
+                    index.seek(segmentIndex.indexLength);
+                    index.write(entry.toByteArray());
+                    segmentIndex.blocks.add(block);
+                    segmentIndex.indexLength += entry.size();
+                    segmentIndex.scannedLength = index.length();
+                } catch (IOException | RuntimeException e) {
+                    // 丢弃缓存，下次加载时修复索引尾部(Drop the cache so the index tail is repaired on next load)
+                    indexCache.remove(segment);
+                    throw e;
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取并解压一个块
+     * (Read and decompress one block)
+     */
+    private List<AuditRecord> readBlock(RandomAccessFile log, BlockIndex block) throws IOException {
+        byte[] compressed = new byte[block.length];
+        log.seek(block.offset);
+        log.readFully(compressed);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(decompress(compressed)));
+        List<AuditRecord> records = new ArrayList<>(block.count);
+        for (int i = 0; i < block.count; i++) {
+            long timestamp = in.readLong();
+            String employeeId = in.readUTF();
+            TaxData taxData = new TaxData(in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble());
+            long rateTableVersion = in.readLong();
+            double tax = in.readDouble();
+            records.add(new AuditRecord(timestamp, employeeId, taxData, rateTableVersion, tax));
+        }
+        return records;
+    }
+
+    /**
+     * 加载或增量刷新分段索引，只读取上次之后新增的条目，因此能看到其他进程追加的块
+     * (Load or incrementally refresh a segment index, reading only entries added since last time, so blocks
+     * appended by other processes become visible)
+     * <p>
+     * 不完整或指向数据文件之外的尾部条目可能是其他进程正在写入的，读取时只是忽略；
+     * 只有持有文件锁的写入方（lockedIndex不为null）才把它们截断。损坏的条目会被报告，
+     * 之前的条目仍然可用
+     * (An incomplete tail entry, or one pointing past the data file, may be another process mid-write, so
+     * readers just ignore it; only a writer holding the file lock (lockedIndex not null) truncates it.
+     * A corrupt entry is reported and the entries before it stay usable)
+     *
+     * @param lockedIndex 已加锁的索引文件，读取时为null(The locked index file, or null when reading)
+     */
+    private SegmentIndex refreshIndex(String segment, RandomAccessFile lockedIndex) throws IOException {
+        SegmentIndex index = indexCache.get(segment);
+        if (index == null) {
+            index = new SegmentIndex();
+            indexCache.put(segment, index);
+        }
+        File indexFile = new File(directory, segment + INDEX_SUFFIX);
+        long fileLength = lockedIndex != null ? lockedIndex.length() : indexFile.length();
+        if (fileLength != index.scannedLength && fileLength > index.indexLength) {
+            long logLength = new File(directory, segment + LOG_SUFFIX).length();
+            RandomAccessFile file = lockedIndex != null ? lockedIndex : new RandomAccessFile(indexFile, "r");
+            try {
+                file.getChannel().position(index.indexLength);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(file.getChannel())));
+                while (index.indexLength < fileLength) {
+                    BlockIndex block = BlockIndex.readFrom(in);
+                    if (block.offset + block.length > logLength) {
+                        break;
+                    }
+                    index.blocks.add(block);
+                    index.indexLength += block.sizeInBytes();
+                }
+            } catch (EOFException e) {
+                // 尾部条目不完整(Incomplete tail entry)
+            } catch (IOException e) {
+                System.err.println("审计日志索引已损坏，忽略其后的条目(Corrupt audit log index, ignoring later entries) "
+                        + segment + "@" + index.indexLength + ": " + e.getMessage());
+            } finally {
+                if (lockedIndex == null) {
+                    file.close();
+                }
+            }
+            index.scannedLength = fileLength;
+        }
+        if (lockedIndex != null && fileLength > index.indexLength) {
+            lockedIndex.setLength(index.indexLength);
+            index.scannedLength = index.indexLength;
+        }
+        return index;
+    }
+
+    /**
+     * 列出存储目录中的所有分段名，忽略名称不是日期的文件
+     * (List all segment names in the storage directory, ignoring files not named by date)
+     */
+    private List<String> listSegments() {
+        List<String> segments = new ArrayList<>();
+        String[] names = directory.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.endsWith(INDEX_SUFFIX)) {
+                    String segment = name.substring(0, name.length() - INDEX_SUFFIX.length());
+                    try {
+                        segmentDay(segment);
+                        segments.add(segment);
+                    } catch (DateTimeParseException e) {
+                        // 不是分段文件(Not a segment file)
+                    }
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    /**
+     * 时间戳对应的分段名，格式为UTC日期yyyyMMdd
+     * (Segment name for a timestamp, formatted as the UTC date yyyyMMdd)
+     */
+    private static String segmentName(long timestamp) {
+        return dayName(Math.floorDiv(timestamp, MILLIS_PER_DAY));
+    }
+
+    private static String dayName(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static long segmentDay(String segment) {
+        return LocalDate.parse(segment, DateTimeFormatter.BASIC_ISO_DATE).toEpochDay();
+    }
+
+    private static String rateTableFileName(long rateTableVersion) {
+        return String.format("%s%016x.dat", RATE_TABLE_PREFIX, rateTableVersion);
+    }
+
+    private static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+        byte[] buffer = new byte[8192];
+        try {
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("审计日志块不完整(Truncated audit log block)");
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("审计日志块已损坏(Corrupt audit log block): " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 块索引条目(Block index entry)
+     */
+    private static class BlockIndex {
+        // 块在数据文件中的偏移量(Block offset in the data file)
+        long offset;
+        // 压缩后长度(Compressed length)
+        int length;
+        // 记录数(Record count)
+        int count;
+        // 最早记录时间(Earliest record time)
+        long minTimestamp = Long.MAX_VALUE;
+        // 最晚记录时间(Latest record time)
+        long maxTimestamp = Long.MIN_VALUE;
+        // 员工编号布隆过滤器(Bloom filter of employee IDs)
+        long[] bloom;
+
+        BlockIndex(int count) {
+            this.count = count;
+            this.bloom = new long[Math.max(1, (count * BLOOM_BITS_PER_RECORD + 63) / 64)];
+        }
+
+        void add(AuditRecord record) {
+            minTimestamp = Math.min(minTimestamp, record.getTimestamp());
+            maxTimestamp = Math.max(maxTimestamp, record.getTimestamp());
+            long bits = bloom.length * 64L;
+            int h1 = record.getEmployeeId().hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(String employeeId) {
+            long bits = bloom.length * 64L;
+            int h1 = employeeId.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            return h | 1;
+        }
+
+        long sizeInBytes() {
+            return 8 + 4 + 4 + 8 + 8 + 4 + 8L * bloom.length;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(offset);
+            out.writeInt(length);
+            out.writeInt(count);
+            out.writeLong(minTimestamp);
+            out.writeLong(maxTimestamp);
+            out.writeInt(bloom.length);
+            for (long word : bloom) {
+                out.writeLong(word);
+            }
+        }
+
+        static BlockIndex readFrom(DataInputStream in) throws IOException {
+            long offset = in.readLong();
+            int length = in.readInt();
+            int count = in.readInt();
+            // 先校验再分配，避免损坏的索引导致异常或内存耗尽
+            // (Validate before allocating so a corrupt index cannot cause exceptions or exhaust memory)
+            if (offset < 0 || length <= 0 || length > MAX_BLOCK_LENGTH || count <= 0 || count > MAX_BLOCK_RECORDS) {
+                throw new IOException("块索引条目无效(Invalid block index entry)");
+            }
+            BlockIndex block = new BlockIndex(count);
+            block.offset = offset;
+            block.length = length;
+            block.minTimestamp = in.readLong();
+            block.maxTimestamp = in.readLong();
+            if (in.readInt() != block.bloom.length) {
+                throw new IOException("布隆过滤器长度无效(Invalid Bloom filter length)");
+            }
+            for (int i = 0; i < block.bloom.length; i++) {
+                block.bloom[i] = in.readLong();
+            }
+            return block;
+        }
+    }
+
+    /**
+     * 已加载的分段索引(Loaded segment index)
+     */
+    private static class SegmentIndex {
+        // 已加载的块(Loaded blocks)
+        final List<BlockIndex> blocks = new ArrayList<>();
+        // 已解析的有效索引字节数(Bytes of valid index entries parsed)
+        long indexLength;
+        // 上次扫描时的索引文件长度(Index file length at the last scan)
+        long scannedLength;
+    }
+}
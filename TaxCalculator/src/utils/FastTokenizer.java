@@ -0,0 +1,133 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 快速分词器(Fast Tokenizer)
+ * <p>
+ * 按块读取输入流并以空白字符切分单词，用于脚本化批量输入；也可以按行读取
+ * (Reads the input stream in blocks and splits it on whitespace, used for scripted bulk input;
+ * whole lines can be read as well)
+ */
+public class FastTokenizer {
+    // 读取缓冲区大小(Read buffer size)
+    private static final int BUFFER_SIZE = 1 << 16;
+    // 输入流(Input stream)
+    private InputStream in;
+    // 读取缓冲区(Read buffer)
+    private byte[] buffer;
+    // 当前读取位置(Current read position)
+    private int position;
+    // 缓冲区中的有效字节数(Number of valid bytes in the buffer)
+    private int length;
+
+    /**
+     * 构造函数，初始化分词器
+     * (Constructor to initialize tokenizer)
+     *
+     * @param in 输入流(Input stream)
+     */
+    public FastTokenizer(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * 读取下一个单词
+     * (Read next token)
+     *
+     * @return 下一个单词，输入结束时返回null
+     * (The next token, or null at end of input)
+     * @throws IOException 读取输入流出错时抛出(Thrown if reading the input stream fails)
+     */
+    public String next() throws IOException {
+        int b = read();
+        // 跳过空白字符(Skip whitespace)
+        while (b != -1 && b <= ' ') {
+            b = read();
+        }
+        if (b == -1) {
+            return null;
+        }
+        byte[] token = new byte[32];
+        int size = 0;
+        while (b != -1 && b > ' ') {
+            if (size == token.length) {
+                byte[] larger = new byte[size * 2];
+                System.arraycopy(token, 0, larger, 0, size);
+                token = larger;
+            }
+            token[size++] = (byte) b;
+            b = read();
+        }
+        return new String(token, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取下一行，不含行尾的换行符
+     * (Read next line, without the trailing line break)
+     *
+     * @return 下一行，输入结束时返回null
+     * (The next line, or null at end of input)
+     * @throws IOException 读取输入流出错时抛出(Thrown if reading the input stream fails)
+     */
+    public String nextLine() throws IOException {
+        int b = read();
+        if (b == -1) {
+            return null;
+        }
+        byte[] line = new byte[64];
+        int size = 0;
+        while (b != -1 && b != '\n') {
+            if (size == line.length) {
+                byte[] larger = new byte[size * 2];
+                System.arraycopy(line, 0, larger, 0, size);
+                line = larger;
+            }
+            line[size++] = (byte) b;
+            b = read();
+        }
+        // 兼容CRLF换行(Accept CRLF line breaks)
+        if (size > 0 && line[size - 1] == '\r') {
+            size--;
+        }
+        return new String(line, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取下一个数值
+     * (Read next number)
+     *
+     * @return 下一个数值(The next number)
+     * @throws IOException           读取输入流出错或输入已结束时抛出
+     *                               (Thrown if reading fails or the input has ended)
+     * @throws NumberFormatException 单词不是有效数值时抛出(Thrown if the token is not a valid number)
+     */
+    public double nextDouble() throws IOException {
+        String token = next();
+        if (token == null) {
+            throw new IOException("输入意外结束(Unexpected end of input)");
+        }
+        return Double.parseDouble(token);
+    }
+
+    /**
+     * 读取一个字节，必要时填充缓冲区
+     * (Read one byte, refilling the buffer when needed)
+     *
+     * @return 读取的字节，输入结束时返回-1(The byte read, or -1 at end of input)
+     */
+    private int read() throws IOException {
+        if (position == length) {
+            length = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (length <= 0) {
+                length = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+}
@@ -0,0 +1,245 @@
+package view;
+
+import model.TaxData;
+import model.TaxRecord;
+import service.TaxCalculationService;
+import utils.FastTokenizer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 流水线税务计算视图(Pipelined Tax Calculator View)
+ * <p>
+ * 非交互模式：读取线程解析输入，计算线程调用税务计算服务，写出线程输出结果，
+ * 三者之间通过有界队列按批次传递数据
+ * (Non-interactive mode: the reader parses input, a calculation thread calls the tax service and a
+ * writer thread prints results, passing batches between them through bounded queues)
+ * <p>
+ * 每条记录依次为员工编号，以及工资、奖金、社保、公积金、其他扣除五个数值，与TaxCalculatorView的输入顺序相同；
+ * 每条记录按输入顺序输出一行应缴税额
+ * (Each record is an employee ID followed by five numbers: salary, bonus, social security, provident fund
+ * and other deductions, in the same order as TaxCalculatorView prompts; one line of tax payable is written
+ * per record, in input order)
+ */
+public class PipelinedTaxCalculatorView {
+    // 每批记录数(Records per batch)
+    private static final int BATCH_SIZE = 512;
+    // 队列容量（批次数）(Queue capacity in batches)
+    private static final int QUEUE_CAPACITY = 64;
+    // 输入结束标记(End of input marker)
+    private static final List<TaxRecord> END_OF_INPUT = new ArrayList<>();
+    // 结果结束标记(End of results marker)
+    private static final double[] END_OF_RESULTS = new double[0];
+    // 超过此绝对值的税额不按分格式化(Taxes at or above this magnitude are not formatted from cents)
+    private static final double MAX_CENTS_AMOUNT = 1e15;
+
+    // 税务计算服务实例(Tax calculation service instance)
+    private TaxCalculationService taxService;
+    // 输入分词器(Input tokenizer)
+    private FastTokenizer tokenizer;
+    // 结果输出流(Result output stream)
+    private OutputStream out;
+    // 是否出现错误，任一线程出错即置位(Whether any stage failed, set by whichever thread fails)
+    private volatile boolean failed;
+    // 计算线程是否出错，出错后读取线程停止读取(Whether the calculation thread failed; the reader stops when set)
+    private volatile boolean calculationFailed;
+    // 已计算的记录数，仅由计算线程更新(Number of records calculated, updated only by the calculation thread)
+    private long calculated;
+
+    /**
+     * 构造函数，初始化流水线视图
+     * (Constructor to initialize pipelined view)
+     *
+     * @param taxService 税务计算服务实例(Tax calculation service instance)
+     * @param tokenizer  输入分词器(Input tokenizer)
+     * @param out        结果输出流(Result output stream)
+     */
+    public PipelinedTaxCalculatorView(TaxCalculationService taxService, FastTokenizer tokenizer, OutputStream out) {
+        this.taxService = taxService;
+        this.tokenizer = tokenizer;
+        this.out = out;
+    }
+
+    /**
+     * 运行流水线直到输入结束
+     * (Run the pipeline until end of input)
+     * <p>
+     * 输入格式错误、计算出错或写出失败时停止读取并返回false，已计算的记录数输出到标准错误
+     * (Stops reading and returns false on malformed input, a calculation error or a write failure;
+     * the number of records calculated is printed to standard error)
+     *
+     * @return 全部输入都成功处理返回true，否则返回false
+     * (Returns true if all input was processed successfully, otherwise false)
+     */
+    public boolean run() {
+        BlockingQueue<List<TaxRecord>> inputQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<double[]> resultQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        Thread calculator = new Thread(() -> calculate(inputQueue, resultQueue), "tax-calculator");
+        Thread writer = new Thread(() -> write(resultQueue), "tax-writer");
+        calculator.start();
+        writer.start();
+
+        List<TaxRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            try {
+                String employeeId;
+                // 计算线程出错后停止读取(Stop reading once the calculation thread has failed)
+                while (!calculationFailed && (employeeId = tokenizer.next()) != null) {
+                    double salary = tokenizer.nextDouble();
+                    double bonus = tokenizer.nextDouble();
+                    double socialSecurity = tokenizer.nextDouble();
+                    double providentFund = tokenizer.nextDouble();
+                    double otherDeductions = tokenizer.nextDouble();
+                    TaxData taxData = new TaxData(salary, bonus, socialSecurity, providentFund, otherDeductions);
+                    batch.add(new TaxRecord(employeeId, taxData, taxService.calculateTaxableIncome(taxData), 0));
+                    if (batch.size() == BATCH_SIZE) {
+                        inputQueue.put(batch);
+                        batch = new ArrayList<>(BATCH_SIZE);
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // 输入错误时停止读取，已读取的记录仍会输出
+                // (Stop reading on bad input; records already read are still written)
+                System.err.println("读取输入错误(Error reading input): " + e.getMessage());
+                failed = true;
+            } finally {
+                if (!batch.isEmpty()) {
+                    inputQueue.put(batch);
+                }
+                inputQueue.put(END_OF_INPUT);
+            }
+            calculator.join();
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        }
+        // join之后读取，计算线程的更新可见(Read after join, so the calculation thread's updates are visible)
+        System.err.println("已处理记录数(Records processed): " + calculated);
+        return !failed;
+    }
+
+    /**
+     * 计算线程：逐批计算税额
+     * (Calculation thread: computes tax batch by batch)
+     * <p>
+     * 出错后不再计算，但继续取出输入直到结束标记，避免读取线程阻塞
+     * (After an error it stops calculating but keeps draining input up to the end marker,
+     * so the reader never blocks)
+     */
+    private void calculate(BlockingQueue<List<TaxRecord>> inputQueue, BlockingQueue<double[]> resultQueue) {
+        try {
+            try {
+                List<TaxRecord> batch;
+                while ((batch = inputQueue.take()) != END_OF_INPUT) {
+                    if (calculationFailed) {
+                        continue;
+                    }
+                    double[] taxes = new double[batch.size()];
+                    try {
+                        for (int i = 0; i < taxes.length; i++) {
+                            TaxRecord record = batch.get(i);
+                            taxes[i] = taxService.calculateTax(record.getEmployeeId(), record.getTaxData());
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("计算税额错误(Error calculating tax): " + e);
+                        calculationFailed = true;
+                        failed = true;
+                        continue;
+                    }
+                    calculated += taxes.length;
+                    resultQueue.put(taxes);
+                }
+            } finally {
+                resultQueue.put(END_OF_RESULTS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写出线程：每条记录输出一行税额
+     * (Writer thread: writes one line of tax per record)
+     * <p>
+     * 税额先四舍五入到分再直接写出数字，避免每条记录调用String.format
+     * (Each tax is rounded to cents and its digits written directly, avoiding String.format per record)
+     */
+    private void write(BlockingQueue<double[]> resultQueue) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        // 写出失败后继续取出结果，避免计算线程阻塞
+        // (Keep draining after a write failure so the calculation thread does not block)
+        boolean writeFailed = false;
+        char[] digits = new char[32];
+        try {
+            double[] taxes;
+            while ((taxes = resultQueue.take()) != END_OF_RESULTS) {
+                if (writeFailed) {
+                    continue;
+                }
+                try {
+                    for (double tax : taxes) {
+                        writeTax(writer, tax, digits);
+                    }
+                } catch (IOException e) {
+                    System.err.println("写出结果错误(Error writing results): " + e.getMessage());
+                    writeFailed = true;
+                    failed = true;
+                }
+            }
+            if (!writeFailed) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("写出结果错误(Error writing results): " + e.getMessage());
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 以两位小数写出一行税额
+     * (Write one line with the tax to two decimal places)
+     *
+     * @param writer 输出(Output)
+     * @param tax    应缴税额(Tax payable)
+     * @param digits 复用的字符缓冲区(Reused character buffer)
+     */
+    private static void writeTax(Writer writer, double tax, char[] digits) throws IOException {
+        if (!(Math.abs(tax) < MAX_CENTS_AMOUNT)) {
+            // 极大值或非数值(Huge values or NaN)
+            writer.write(String.format("%.2f", tax));
+            writer.write('\n');
+            return;
+        }
+        long cents = Math.round(Math.abs(tax) * 100);
+        // 四舍五入为零时不输出负号(No minus sign when the value rounds to zero)
+        boolean negative = tax < 0 && cents > 0;
+        int position = digits.length;
+        digits[--position] = '\n';
+        for (int i = 0; i < 2; i++) {
+            digits[--position] = (char) ('0' + cents % 10);
+            cents /= 10;
+        }
+        digits[--position] = '.';
+        do {
+            digits[--position] = (char) ('0' + cents % 10);
+            cents /= 10;
+        } while (cents > 0);
+        if (negative) {
+            digits[--position] = '-';
+        }
+        writer.write(digits, position, digits.length - position);
+    }
+}
@@ -0,0 +1,119 @@
+package view;
+
+import model.TaxDelta;
+import model.TaxRate;
+import service.AuditLogService;
+import service.TaxRecalculationService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 税率变更重算视图(Rate Change Recalculation View)
+ * <p>
+ * 读取新税率文件，从审计日志载入已有的计算结果，应用新税率表后输出变更报告
+ * (Reads a new tax rate file, loads existing results from the audit log, applies the new table and
+ * prints the delta report)
+ * <p>
+ * 税率文件每行依次为下限、上限、税率、速算扣除数，上限可写作max表示无上限；空行和以#开头的行被忽略
+ * (Each line of the tax rate file is lower bound, upper bound, rate and quick deduction; the upper bound
+ * may be written as max for no limit. Blank lines and lines starting with # are ignored)
+ */
+public class RecalculationView {
+    // 无上限的写法(Spelling of an unlimited upper bound)
+    private static final String UNLIMITED = "max";
+
+    // 增量重算服务实例(Incremental recalculation service instance)
+    private TaxRecalculationService recalculationService;
+    // 审计日志服务实例(Audit log service instance)
+    private AuditLogService auditLog;
+    // 新税率文件路径(New tax rate file path)
+    private String taxRatesFile;
+
+    /**
+     * 构造函数，初始化税率变更重算视图
+     * (Constructor to initialize rate change recalculation view)
+     *
+     * @param recalculationService 增量重算服务实例(Incremental recalculation service instance)
+     * @param auditLog             审计日志服务实例(Audit log service instance)
+     * @param taxRatesFile         新税率文件路径(New tax rate file path)
+     */
+    public RecalculationView(TaxRecalculationService recalculationService, AuditLogService auditLog,
+                             String taxRatesFile) {
+        this.recalculationService = recalculationService;
+        this.auditLog = auditLog;
+        this.taxRatesFile = taxRatesFile;
+    }
+
+    /**
+     * 执行重算并输出变更报告
+     * (Run the recalculation and print the delta report)
+     *
+     * @return 成功返回true，税率文件无法读取或格式错误时返回false
+     * (Returns true on success, false if the tax rate file cannot be read or is malformed)
+     */
+    public boolean run() {
+        // 先读取税率文件，格式错误时不必扫描审计日志(Read the rate file first so a bad file skips the log scan)
+        List<TaxRate> newTaxRates = readTaxRates();
+        if (newTaxRates == null) {
+            return false;
+        }
+        int loaded = recalculationService.loadFromAuditLog(auditLog);
+        System.out.println("已载入记录数(Records loaded): " + loaded);
+        List<TaxDelta> deltas = recalculationService.recalculate(newTaxRates);
+        System.out.print(recalculationService.getDeltaReport(deltas));
+        return true;
+    }
+
+    /**
+     * 读取税率文件
+     * (Read the tax rate file)
+     *
+     * @return 税率列表，出错时返回null(Tax rate list, or null on error)
+     */
+    private List<TaxRate> readTaxRates() {
+        List<TaxRate> taxRates = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(taxRatesFile), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                try {
+                    if (fields.length != 4) {
+                        throw new NumberFormatException("需要4个字段(Expected 4 fields)");
+                    }
+                    double lowerBound = Double.parseDouble(fields[0]);
+                    double upperBound = fields[1].equalsIgnoreCase(UNLIMITED) ?
+                            Double.MAX_VALUE : Double.parseDouble(fields[1]);
+                    double rate = Double.parseDouble(fields[2]);
+                    double quickDeduction = Double.parseDouble(fields[3]);
+                    if (!(lowerBound < upperBound) || !(rate >= 0 && rate < 1)) {
+                        throw new NumberFormatException("下限须小于上限且税率在0到1之间(Lower bound must be below upper bound and rate within [0, 1))");
+                    }
+                    taxRates.add(new TaxRate(lowerBound, upperBound, rate, quickDeduction));
+                } catch (NumberFormatException e) {
+                    System.err.println("税率文件格式错误(Invalid tax rate file) " + taxRatesFile + ":" + lineNumber + ": " + e.getMessage());
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("读取税率文件错误(Error reading tax rate file): " + e.getMessage());
+            return null;
+        }
+        if (taxRates.isEmpty()) {
+            System.err.println("税率文件为空(Tax rate file is empty): " + taxRatesFile);
+            return null;
+        }
+        return taxRates;
+    }
+}
@@ -61,8 +61,9 @@ public class TaxCalculatorView {
      * 获取用户输入的税务数据并计算应缴税额(Gets tax data input from user and calculates tax payable)
      */
     private void calculateTax() {
+        String employeeId = getEmployeeIdInput();
         TaxData taxData = getTaxDataInput();
-        double tax = taxService.calculateTax(taxData);
+        double tax = taxService.calculateTax(employeeId, taxData);
         System.out.printf("\n您预计应缴纳的个人所得税为(Your estimated income tax payable is): %.2f\n", tax);
     }
 
@@ -71,11 +72,27 @@ public class TaxCalculatorView {
      * 获取用户输入的税务数据并显示详细计算过程(Gets tax data input from user and displays detailed calculation process)
      */
     private void showCalculationDetails() {
+        String employeeId = getEmployeeIdInput();
         TaxData taxData = getTaxDataInput();
-        String details = taxService.getCalculationDetails(taxData);
+        String details = taxService.getCalculationDetails(employeeId, taxData);
         System.out.println("\n" + details);
     }
 
+    /**
+     * 获取员工编号输入(Get employee ID input)
+     * 审计记录按员工编号保存，因此不能为空(Audit records are kept by employee ID, so it must not be empty)
+     *
+     * @return 员工编号(Employee ID)
+     */
+    private String getEmployeeIdInput() {
+        String employeeId = "";
+        while (employeeId.isEmpty()) {
+            System.out.print("请输入员工编号(Enter employee ID): ");
+            employeeId = scanner.nextLine().trim();
+        }
+        return employeeId;
+    }
+
     /**
      * 获取税务数据输入(Get tax data input)
      * 从用户获取各项收入和扣除项数据(Gets various income and deduction data from user)